@@ -94,5 +94,7 @@ public class Main {
                 },
         };
         Scheduler.runRoundRobin(Arrays.asList(testcases[11]), 3);
+        // Same test case with a context switch cost of 1 time unit charged at every dispatch.
+        Scheduler.runRoundRobin(Arrays.asList(testcases[11]), 3, 1);
     }
 }
\ No newline at end of file
@@ -19,31 +19,49 @@ public class Scheduler {
     private static final String[] tableHeaders = {"Process Number", "Start Execution Time", "Completion Time", "Waiting Time", "Turn Around Time"};
 
     public static void runFirstComeFirstServe(Collection<Process> processes) {
+        runFirstComeFirstServe(processes, 0);
+    }
+
+    public static void runFirstComeFirstServe(Collection<Process> processes, int contextSwitchTime) {
         // FCFS does not need any specific comparator, so we pass naturalOrder
-        runNonPreemptiveAlgorithm(processes, Comparator.naturalOrder());
+        runNonPreemptiveAlgorithm(processes, Comparator.naturalOrder(), contextSwitchTime);
     }
 
     public static void runShortestJobFirst(Collection<Process> processes) {
+        runShortestJobFirst(processes, 0);
+    }
+
+    public static void runShortestJobFirst(Collection<Process> processes, int contextSwitchTime) {
         // SJF uses burst time to decide the order of execution
         /*
             The queue is sorted by two criteria:
             1. Burst Time: Processes with lower burst time are placed before those with higher burst time.
             2. Order of Arrival: If two processes have the same burst time, the one that arrived earlier (has a lower order value) is placed first.
         */
-        runNonPreemptiveAlgorithm(processes, Comparator.comparingInt(ProcessWrapper::getBurstTime).thenComparingLong(ProcessWrapper::getOrder));
+        runNonPreemptiveAlgorithm(processes, Comparator.comparingInt(ProcessWrapper::getBurstTime).thenComparingLong(ProcessWrapper::getOrder), contextSwitchTime);
     }
 
     public static void runNonPreemptivePriority(Collection<Process> processes) {
+        runNonPreemptivePriority(processes, 0);
+    }
+
+    public static void runNonPreemptivePriority(Collection<Process> processes, int contextSwitchTime) {
         // Priority scheduling uses process priority to decide the order of execution
         /*
             The queue is sorted by two criteria:
             1. Priority: Processes with higher priority (represented by lower integer values) are placed before those with lower priority.
             2. Order of Arrival: If two processes have the same priority, the one that arrived earlier (has a lower order value) is placed first.
         */
-        runNonPreemptiveAlgorithm(processes, Comparator.comparingInt(ProcessWrapper::getPriority).thenComparingLong(ProcessWrapper::getOrder));
+        runNonPreemptiveAlgorithm(processes, Comparator.comparingInt(ProcessWrapper::getPriority).thenComparingLong(ProcessWrapper::getOrder), contextSwitchTime);
     }
 
-    public static void runRoundRobin(Collection<Process> processes, int timeQuantum) {    
+    public static void runRoundRobin(Collection<Process> processes, int timeQuantum) {
+        runRoundRobin(processes, timeQuantum, 0);
+    }
+
+    public static void runRoundRobin(Collection<Process> processes, int timeQuantum, int contextSwitchTime) {
+        validateContextSwitchTime(contextSwitchTime);
+
         // Convert the collection of processes into a list for easier manipulation.
         List<Process> processesList = new LinkedList<>(processes);
 
@@ -66,8 +84,15 @@ public class Scheduler {
         double averageWaitingTime = 0;
         double averageTurnaroundTime = 0;
 
+        // Initialize variables to track the time the CPU spends idle and switching between processes.
+        int idleTime = 0;
+        int contextSwitches = 0;
+
         int currentTime = 0;
 
+        // Keep track of the process that last ran on the CPU to know when a context switch is needed.
+        Process lastRunningProcess = null;
+
         // Continue scheduling while there are still processes in the list or in the ready queue.
         while (!processesList.isEmpty() || !readyQueue.isEmpty()) {
             // Add all processes that have arrived by the current time to the ready queue.
@@ -75,8 +100,9 @@ public class Scheduler {
                 readyQueue.add(processesList.removeFirst());
             }
 
-            // If the ready queue is empty, advance the current time to the arrival time of the next process.
+            // If the ready queue is empty, the CPU stays idle until the arrival time of the next process.
             if (readyQueue.isEmpty()) {
+                idleTime += processesList.getFirst().getArrivalTime() - currentTime;
                 currentTime = processesList.getFirst().getArrivalTime();
                 continue;
             }
@@ -84,6 +110,14 @@ public class Scheduler {
             // Dequeue the next process from the ready queue.
             Process runningProcess = readyQueue.poll();
             int runningProcessNumber = runningProcess.getProcessNumber();
+
+            // Pay the context switch cost if the CPU is handed to a different process than the one that last ran.
+            if (runningProcess != lastRunningProcess) {
+                currentTime += contextSwitchTime;
+                contextSwitches++;
+                lastRunningProcess = runningProcess;
+            }
+
             int startExecutionTime = currentTime;
 
             // Get the remaining CPU time required for the running process.
@@ -144,12 +178,18 @@ public class Scheduler {
         averageWaitingTime /= numberOfProcesses;
         averageTurnaroundTime /= numberOfProcesses;
 
-        // Print the scheduling table and the average times
-        System.out.printf(tableGenerator.generateTable(Arrays.asList(tableHeaders), tableRows) +
-                "\nAverage waiting time %f\nAverage turnaround time %f", averageWaitingTime, averageTurnaroundTime);
+        // Print the scheduling table, the average times and the CPU usage metrics
+        printResults(tableRows, averageWaitingTime, averageTurnaroundTime, numberOfProcesses,
+                currentTime, idleTime, contextSwitches, contextSwitchTime);
     }
 
     public static void runPreemptivePriority(Collection<Process> processes) {
+        runPreemptivePriority(processes, 0);
+    }
+
+    public static void runPreemptivePriority(Collection<Process> processes, int contextSwitchTime) {
+        validateContextSwitchTime(contextSwitchTime);
+
         // Convert the collection of processes into a list for easier manipulation.
         List<Process> processesList = new LinkedList<>(processes);
 
@@ -185,8 +225,15 @@ public class Scheduler {
         double averageWaitingTime = 0;
         double averageTurnAroundTime = 0;
 
+        // Initialize variables to track the time the CPU spends idle and switching between processes.
+        int idleTime = 0;
+        int contextSwitches = 0;
+
         int currentTime = 0;
 
+        // Keep track of the process that last ran on the CPU to know when a context switch is needed.
+        Process lastRunningProcess = null;
+
         // Initialize the currently running process, its process number, and its start execution time
         ProcessWrapper runningProcessWrapper = null;
         Process runningProcess = null;
@@ -203,18 +250,22 @@ public class Scheduler {
 
             // If the ready queue is empty and there is no running process, advance the current time to the arrival time of the next process.
             if (readyQueue.isEmpty() && runningProcess == null) {
+                idleTime += processesList.getFirst().getArrivalTime() - currentTime;
                 currentTime = processesList.getFirst().getArrivalTime();
                 continue;
             }
 
             // If there is a running process, check if it should be preempted by a process in the ready queue with a higher priority.
             if (runningProcess != null && !readyQueue.isEmpty() && runningProcess.getPriority() > readyQueue.peek().getPriority()) {
-                
-                // Create a row for the scheduling table to indicate that the running process was preempted.
-                String[] row = {Integer.toString(runningProcessNumber), Integer.toString(startExecutionTime),
-                        currentTime + "(Preempted)", "(Preempted)", "(Preempted)"};
 
-                tableRows.add(Arrays.asList(row));
+                // Create a row for the scheduling table to indicate that the running process was preempted,
+                // unless it was preempted right after being switched in and has not executed yet.
+                if (currentTime > startExecutionTime) {
+                    String[] row = {Integer.toString(runningProcessNumber), Integer.toString(startExecutionTime),
+                            currentTime + "(Preempted)", "(Preempted)", "(Preempted)"};
+
+                    tableRows.add(Arrays.asList(row));
+                }
 
                 // Add the preempted process back to the ready queue for future execution.
                 readyQueue.add(runningProcessWrapper);
@@ -228,6 +279,20 @@ public class Scheduler {
                 runningProcessWrapper = readyQueue.poll();
                 runningProcess = runningProcessWrapper.getProcess();
                 runningProcessNumber = runningProcess.getProcessNumber();
+
+                /*
+                    Pay the context switch cost if the CPU is handed to a different process than the one that last ran.
+                    Processes may arrive while the switch is in progress, so go back to the top of the loop
+                    to add them to the ready queue and check for preemption before executing the dispatched process.
+                */
+                if (runningProcess != lastRunningProcess) {
+                    currentTime += contextSwitchTime;
+                    contextSwitches++;
+                    lastRunningProcess = runningProcess;
+                    startExecutionTime = currentTime;
+                    continue;
+                }
+
                 startExecutionTime = currentTime;
             }
 
@@ -263,12 +328,14 @@ public class Scheduler {
         averageWaitingTime /= numberOfProcesses;
         averageTurnAroundTime /= numberOfProcesses;
 
-        // Print the scheduling table and the average times
-        System.out.printf(tableGenerator.generateTable(Arrays.asList(tableHeaders), tableRows) +
-                "\nAverage waiting time %f\nAverage turnaround time %f", averageWaitingTime, averageTurnAroundTime);
+        // Print the scheduling table, the average times and the CPU usage metrics
+        printResults(tableRows, averageWaitingTime, averageTurnAroundTime, numberOfProcesses,
+                currentTime, idleTime, contextSwitches, contextSwitchTime);
     }
 
-    private static void runNonPreemptiveAlgorithm(Collection<Process> processes, Comparator<ProcessWrapper> readyQueueComparator) {
+    private static void runNonPreemptiveAlgorithm(Collection<Process> processes, Comparator<ProcessWrapper> readyQueueComparator, int contextSwitchTime) {
+        validateContextSwitchTime(contextSwitchTime);
+
         // Convert the collection of processes into a list for easier manipulation.
         List<Process> processesList = new LinkedList<>(processes);
 
@@ -285,6 +352,10 @@ public class Scheduler {
         double averageWaitingTime = 0;
         double averageTurnaroundTime = 0;
 
+        // Initialize variables to track the time the CPU spends idle and switching between processes.
+        int idleTime = 0;
+        int contextSwitches = 0;
+
         int currentTime = 0;
 
         // Continue scheduling while there are still processes in the list or in the ready queue.
@@ -295,8 +366,9 @@ public class Scheduler {
                 readyQueue.add(new ProcessWrapper(processesList.removeFirst()));
             }
 
-            // If the ready queue is empty, advance the current time to the arrival time of the next process.
+            // If the ready queue is empty, the CPU stays idle until the arrival time of the next process.
             if (readyQueue.isEmpty()) {
+                idleTime += processesList.getFirst().getArrivalTime() - currentTime;
                 currentTime = processesList.getFirst().getArrivalTime();
                 continue;
             }
@@ -304,6 +376,10 @@ public class Scheduler {
             // Get the next process to run from the ready queue
             Process runningProcess = readyQueue.poll().getProcess();
 
+            // Every dispatch hands the CPU to a new process, so the context switch cost is always paid.
+            currentTime += contextSwitchTime;
+            contextSwitches++;
+
             // Calculate start and completion times
             String startExecutionTime = Integer.toString(currentTime);
             currentTime += runningProcess.getBurstTime();
@@ -328,8 +404,39 @@ public class Scheduler {
         averageWaitingTime /= numberOfProcesses;
         averageTurnaroundTime /= numberOfProcesses;
 
-        // Print the scheduling table and the average times
+        // Print the scheduling table, the average times and the CPU usage metrics
+        printResults(tableRows, averageWaitingTime, averageTurnaroundTime, numberOfProcesses,
+                currentTime, idleTime, contextSwitches, contextSwitchTime);
+    }
+
+    private static void printResults(List<List<String>> tableRows, double averageWaitingTime, double averageTurnaroundTime,
+                                     int numberOfProcesses, int makespan, int idleTime, int contextSwitches, int contextSwitchTime) {
+        /*
+            The context switch time is charged every time the CPU is handed to a process other than the one that last ran on it,
+            and the CPU does no useful work while the switch is in progress.
+            The schedule starts at time 0 and ends when the last process completes, so the makespan is the final current time.
+            Within the makespan the CPU is either executing a process, switching between processes, or idle,
+            so the busy time is whatever remains after removing the idle time and the context switch overhead.
+        */
+        int contextSwitchOverhead = contextSwitches * contextSwitchTime;
+        int busyTime = makespan - idleTime - contextSwitchOverhead;
+
+        // An empty schedule has no elapsed time, so report zero instead of dividing by it.
+        double cpuUtilization = makespan > 0 ? 100.0 * busyTime / makespan : 0;
+        double throughput = makespan > 0 ? (double) numberOfProcesses / makespan : 0;
+
         System.out.printf(tableGenerator.generateTable(Arrays.asList(tableHeaders), tableRows) +
-                "\nAverage waiting time %f\nAverage turnaround time %f", averageWaitingTime, averageTurnaroundTime);
+                        "\nAverage waiting time %f\nAverage turnaround time %f" +
+                        "\nCPU utilization %f%%\nIdle time %d\nContext switch overhead %d (%d switches)" +
+                        "\nThroughput %f processes per time unit\nMakespan %d",
+                averageWaitingTime, averageTurnaroundTime,
+                cpuUtilization, idleTime, contextSwitchOverhead, contextSwitches,
+                throughput, makespan);
+    }
+
+    private static void validateContextSwitchTime(int contextSwitchTime) {
+        if (contextSwitchTime < 0) {
+            throw new IllegalArgumentException("Context switch time must not be negative: " + contextSwitchTime);
+        }
     }
 }
\ No newline at end of file